@@ -1,4 +1,9 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 public class LakbayBatangas {
 
@@ -10,9 +15,12 @@ public class LakbayBatangas {
         private String name;
         private int hearts;
         private int points;
+        private int[] recentQuestions = new int[RECENT_QUESTIONS]; // ring of question ids
+        private int recentCount;
+        private int recentNext;
 
         public Player(String name) {
-            this.name = name;
+            this.name = text.name(name); // returning players share one String
             this.hearts = 2; // Start with 2 hearts
             this.points = 0;
         }
@@ -39,6 +47,18 @@ public class LakbayBatangas {
         public void restoreHeart() {
             hearts++;
         }
+        // Fixed-size scan, so the cost does not grow with the question pool
+        public boolean hasSeenRecently(int questionId) {
+            for (int i = 0; i < recentCount; i++) {
+                if (recentQuestions[i] == questionId) return true;
+            }
+            return false;
+        }
+        public void markSeen(int questionId) {
+            recentQuestions[recentNext] = questionId;
+            recentNext = (recentNext + 1) % recentQuestions.length;
+            if (recentCount < recentQuestions.length) recentCount++;
+        }
         @Override
         public String toString() {
             return String.format("%s ❤︎ x%d  ✧ %d pts", name, hearts, points);
@@ -53,10 +73,12 @@ public class LakbayBatangas {
     public abstract class Place {
         protected String name;
         protected String description;
-        protected Question[] questions; // Use array for fixed number of spot questions
+        protected String intro; // welcome line, built once per spot by the subclass
+        protected Question[] questions; // Question pool; a few are drawn per visit
+        private AliasTable sampler; // built on first draw
 
         public Place(String name, String description, Question[] questions) {
-            this.name = name;
+            this.name = text.intern(name);
             this.description = description;
             this.questions = questions;
         }
@@ -67,10 +89,11 @@ public class LakbayBatangas {
         // Shared quiz conduction logic used by subclasses
         protected void conductQuiz(Player player, Scanner scanner) {
             System.out.println("----------------------------------------");
-            System.out.println(" Quiz: " + name + " (2 questions)");
+            Question[] drawn = drawQuestions(player);
+            System.out.println(" Quiz: " + name + " (" + drawn.length + " questions)");
             System.out.println("----------------------------------------");
-            for (int i = 0; i < questions.length; i++) {
-                Question q = questions[i];
+            for (int i = 0; i < drawn.length; i++) {
+                Question q = drawn[i];
                 try {
                     boolean correct = q.ask(scanner);
                     if (correct) {
@@ -96,6 +119,59 @@ public class LakbayBatangas {
             System.out.println("Spot complete! Current points: " + player.getPoints() + " | Hearts: " + player.getHearts());
             System.out.println("----------------------------------------\n");
         }
+
+        // Questions for one visit by this player
+        protected Question[] drawQuestions(Player player) {
+            return drawQuestions(QUESTIONS_PER_VISIT, random, player);
+        }
+
+        /**
+         * Draws up to count distinct questions from the pool.
+         * Easier questions are weighted higher, and questions the player saw
+         * recently are redrawn, so each pick costs O(1) whatever the pool size.
+         * With player == null recency is ignored (used for tournaments, where
+         * a seeded Random makes every host draw the same questions).
+         */
+        protected Question[] drawQuestions(int wanted, Random rnd, Player player) {
+            int count = Math.min(wanted, questions.length);
+            Question[] drawn = new Question[count];
+            if (count == 0) return drawn;
+            if (sampler == null) {
+                double[] weights = new double[questions.length];
+                for (int i = 0; i < questions.length; i++) {
+                    weights[i] = 1.0 / questions[i].getDifficulty();
+                }
+                sampler = new AliasTable(weights);
+            }
+            for (int k = 0; k < count; k++) {
+                Question pick = null;
+                Question fallback = null; // not fresh, but at least not repeated in this visit
+                for (int attempt = 0; attempt < MAX_DRAW_ATTEMPTS && pick == null; attempt++) {
+                    Question q = questions[sampler.next(rnd)];
+                    if (contains(drawn, k, q)) continue;
+                    if (player == null || !player.hasSeenRecently(q.getId())) {
+                        pick = q;
+                    } else if (fallback == null) {
+                        fallback = q;
+                    }
+                }
+                if (pick == null) pick = fallback;
+                // Tiny pools where every draw collided: take the first unused question
+                for (int i = 0; pick == null; i++) {
+                    if (!contains(drawn, k, questions[i])) pick = questions[i];
+                }
+                drawn[k] = pick;
+                if (player != null) player.markSeen(pick.getId());
+            }
+            return drawn;
+        }
+
+        private boolean contains(Question[] drawn, int count, Question q) {
+            for (int i = 0; i < count; i++) {
+                if (drawn[i] == q) return true;
+            }
+            return false;
+        }
     }
 
     /* ---------------------------
@@ -104,11 +180,12 @@ public class LakbayBatangas {
     public class Beach extends Place {
         public Beach(String name, String description, Question[] questions) {
             super(name, description, questions); // use of super()
+            intro = "🏖️  Welcome to " + name + " — a beautiful beach spot!";
         }
 
         @Override
         public void explore(Player player, Scanner scanner) {
-            System.out.println("🏖️  Welcome to " + name + " — a beautiful beach spot!");
+            System.out.println(intro);
             System.out.println(description);
             conductQuiz(player, scanner);
         }
@@ -120,11 +197,12 @@ public class LakbayBatangas {
     public class Mountain extends Place {
         public Mountain(String name, String description, Question[] questions) {
             super(name, description, questions);
+            intro = "🏔️  You're at " + name + " — a scenic mountain trail!";
         }
 
         @Override
         public void explore(Player player, Scanner scanner) {
-            System.out.println("🏔️  You're at " + name + " — a scenic mountain trail!");
+            System.out.println(intro);
             System.out.println(description);
             conductQuiz(player, scanner);
         }
@@ -136,11 +214,12 @@ public class LakbayBatangas {
     public class HeritageSite extends Place {
         public HeritageSite(String name, String description, Question[] questions) {
             super(name, description, questions);
+            intro = "🏛️  Visiting " + name + " — a cultural heritage site.";
         }
 
         @Override
         public void explore(Player player, Scanner scanner) {
-            System.out.println("🏛️  Visiting " + name + " — a cultural heritage site.");
+            System.out.println(intro);
             System.out.println(description);
             conductQuiz(player, scanner);
         }
@@ -150,14 +229,43 @@ public class LakbayBatangas {
      * Inner class: Question
      * Represents a multiple-choice question. */
     public class Question {
+        private int id; // unique per game, used for "recently seen" tracking
         private String prompt;
         private String[] options;
         private int correctIndex; // 0-based
+        private int difficulty; // 1 (easy) to 3 (hard)
 
         public Question(String prompt, String[] options, int correctIndex) {
+            this(prompt, options, correctIndex, 1);
+        }
+
+        public Question(String prompt, String[] options, int correctIndex, int difficulty) {
+            this.id = nextQuestionId++;
             this.prompt = prompt;
-            this.options = options;
+            this.options = text.options(options); // identical option sets share one array
             this.correctIndex = correctIndex;
+            this.difficulty = Math.max(1, difficulty);
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public int getDifficulty() {
+            return difficulty;
+        }
+
+        public String getPrompt() {
+            return prompt;
+        }
+
+        // A copy: equal option lists share one pooled array (see TextPool)
+        public String[] getOptions() {
+            return options.clone();
+        }
+
+        public int getOptionCount() {
+            return options.length;
         }
 
         /**
@@ -170,9 +278,16 @@ public class LakbayBatangas {
                 System.out.printf("  %d. %s%n", i + 1, options[i]);
             }
             System.out.print("Your answer (enter number): ");
-            String line = scanner.nextLine().trim();
+            return check(scanner.nextLine());
+        }
+
+        /**
+         * Checks a raw answer line (e.g. "2") without touching the console.
+         * Used by ask() and by tournament rounds, so both follow the same rules.
+         */
+        public boolean check(String line) throws InvalidChoiceException {
             try {
-                int choice = Integer.parseInt(line);
+                int choice = Integer.parseInt(line.trim());
                 if (choice < 1 || choice > options.length) {
                     throw new InvalidChoiceException("Choice out of range.");
                 }
@@ -183,22 +298,116 @@ public class LakbayBatangas {
         }
     }
 
+    /* ---------------------------
+     * Inner class: TextPool
+     * Canonical copies of repeated catalog text, so equal strings and
+     * option sets are stored once. Player names use a bounded LRU cache
+     * because names keep arriving for as long as sessions are hosted.
+     * --------------------------- */
+    public class TextPool {
+        private static final int NAME_CACHE_SIZE = 1024;
+
+        private Map<String, String> strings = new HashMap<>();
+        private Map<List<String>, String[]> optionSets = new HashMap<>();
+        private Map<String, String> names = new LinkedHashMap<String, String>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > NAME_CACHE_SIZE;
+            }
+        };
+
+        // Returns the shared copy of s (catalog text lives as long as the game)
+        public synchronized String intern(String s) {
+            if (s == null) return null;
+            String canonical = strings.putIfAbsent(s, s);
+            return canonical != null ? canonical : s;
+        }
+
+        // Returns a shared array with the same (interned) options; callers must not modify it
+        public synchronized String[] options(String[] options) {
+            String[] copy = new String[options.length];
+            for (int i = 0; i < options.length; i++) {
+                copy[i] = intern(options[i]);
+            }
+            List<String> key = Arrays.asList(copy);
+            String[] canonical = optionSets.putIfAbsent(key, copy);
+            return canonical != null ? canonical : copy;
+        }
+
+        // Player names: least recently used names are evicted past NAME_CACHE_SIZE
+        public synchronized String name(String name) {
+            if (name == null) return null;
+            String canonical = names.get(name);
+            if (canonical == null) {
+                names.put(name, name);
+                canonical = name;
+            }
+            return canonical;
+        }
+    }
+
+    /* ---------------------------
+     * Inner class: AliasTable
+     * Weighted sampling in O(1) per draw using Vose's alias method.
+     * --------------------------- */
+    public class AliasTable {
+        private double[] prob;
+        private int[] alias;
+
+        public AliasTable(double[] weights) {
+            int n = weights.length;
+            prob = new double[n];
+            alias = new int[n];
+            double sum = 0;
+            for (double w : weights) sum += w;
+
+            // Scale weights so the average is 1, then split into small/large worklists
+            double[] scaled = new double[n];
+            int[] small = new int[n];
+            int[] large = new int[n];
+            int smallCount = 0, largeCount = 0;
+            for (int i = 0; i < n; i++) {
+                scaled[i] = weights[i] * n / sum;
+                if (scaled[i] < 1.0) small[smallCount++] = i;
+                else large[largeCount++] = i;
+            }
+            while (smallCount > 0 && largeCount > 0) {
+                int s = small[--smallCount];
+                int l = large[--largeCount];
+                prob[s] = scaled[s];
+                alias[s] = l;
+                scaled[l] = (scaled[l] + scaled[s]) - 1.0;
+                if (scaled[l] < 1.0) small[smallCount++] = l;
+                else large[largeCount++] = l;
+            }
+            // Leftovers are (up to rounding) exactly 1
+            while (largeCount > 0) prob[large[--largeCount]] = 1.0;
+            while (smallCount > 0) prob[small[--smallCount]] = 1.0;
+        }
+
+        // Returns an index in [0, n) with probability proportional to its weight
+        public int next(Random random) {
+            int i = random.nextInt(prob.length);
+            return random.nextDouble() < prob[i] ? i : alias[i];
+        }
+    }
+
     /* ---------------------------
      * Inner class: Municipality
      * Holds exactly 2 tourist spots (array) and has unlocking metadata.
+     * Spots are built lazily on first access to keep startup fast.
      * --------------------------- */
     public class Municipality {
         private String name;
-        private Place[] spots; // exactly 2 spots per requirement
+        private Place[] spots; // exactly 2 spots per requirement; null until first visit
         private int index; // identifier order
         private boolean unlocked;
         private int unlockThreshold; // points required
 
-        public Municipality(String name, int index, int unlockThreshold, Place[] spots) {
+        public Municipality(String name, int index, int unlockThreshold) {
             this.name = name;
             this.index = index;
             this.unlockThreshold = unlockThreshold;
-            this.spots = spots;
             // By default, index 0 is unlocked
             this.unlocked = index == 0 || unlockThreshold <= 0;
         }
@@ -219,6 +428,9 @@ public class LakbayBatangas {
         }
 
         public Place[] getSpots() {
+            if (spots == null) {
+                spots = loadSpots(index);
+            }
             return spots;
         }
 
@@ -287,18 +499,432 @@ public class LakbayBatangas {
         }
 
         public void display() {
-            System.out.println("\n========================================");
-            System.out.println("ᯓ★ Leaderboard — Lakbay Batangas");
-            System.out.println("========================================");
+            printLeaderboardHeader();
             if (entries.isEmpty()) {
                 System.out.println("(No records yet.)");
             } else {
                 int rank = 1;
                 for (Entry e : entries) {
-                    System.out.printf(" %2d. %s — %d pts%n", rank++, e.name, e.points);
+                    printLeaderboardRow(rank++, e.name, e.points);
+                }
+            }
+            printLeaderboardFooter();
+        }
+
+        // Writes entries as "points<TAB>name" lines, highest first (a shard for LeaderboardMerger)
+        public void saveShard(String path) throws IOException {
+            Path target = Paths.get(path);
+            Path tmp = tempFileBeside(target);
+            try {
+                try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                    for (Entry e : entries) {
+                        out.write(e.points + "\t" + e.name);
+                        out.newLine();
+                    }
+                }
+                moveIntoPlace(tmp, target);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        }
+
+        /**
+         * Loads the best {@code limit} entries of an existing shard (e.g. this kiosk's
+         * earlier games) into an empty leaderboard; a missing file counts as empty.
+         * Shards are already sorted, so entries are appended in order.
+         */
+        public void loadShard(String path, int limit) throws IOException {
+            Path file = Paths.get(path);
+            if (!Files.exists(file)) return;
+            try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                int lineNo = 0;
+                while (entries.size() < limit && (line = in.readLine()) != null) {
+                    lineNo++;
+                    if (line.isEmpty()) continue;
+                    int tab = line.indexOf('\t');
+                    int points;
+                    try {
+                        points = Integer.parseInt(line.substring(0, Math.max(tab, 0)));
+                    } catch (NumberFormatException nfe) {
+                        throw new IOException(path + ":" + lineNo + ": expected \"points<TAB>name\".");
+                    }
+                    if (!entries.isEmpty() && points > entries.get(entries.size() - 1).points) {
+                        throw new IOException(path + ":" + lineNo + ": shard is not sorted by points (descending).");
+                    }
+                    entries.add(new Entry(line.substring(tab + 1), points));
+                }
+            }
+        }
+
+        // Drops everything below the best max entries
+        public void trim(int max) {
+            if (entries.size() > max) {
+                entries.subList(max, entries.size()).clear();
+            }
+        }
+    }
+
+    /* ---------------------------
+     * Inner class: LeaderboardMerger
+     * Combines many kiosk leaderboard shards into one global ranking.
+     * Each shard is read as a stream and merged through a k-way heap, so memory
+     * depends on the number of shards, not on how many entries they hold.
+     * --------------------------- */
+    public class LeaderboardMerger {
+        private static final int BUFFER_SIZE = 1 << 16; // per shard reader/writer
+
+        // One open shard positioned on its current entry
+        private class Cursor {
+            final String file;
+            final int order; // shard position, keeps ties in a stable order
+            final BufferedReader reader;
+            long lineNo;
+            String name;
+            int points;
+
+            Cursor(String file, int order) throws IOException {
+                this.file = file;
+                this.order = order;
+                this.reader = new BufferedReader(new InputStreamReader(
+                        Files.newInputStream(Paths.get(file)), StandardCharsets.UTF_8), BUFFER_SIZE);
+            }
+
+            // Moves to the next entry; returns false at end of shard
+            boolean advance() throws IOException {
+                String line;
+                do {
+                    line = reader.readLine();
+                    if (line == null) return false;
+                    lineNo++;
+                } while (line.isEmpty());
+                int tab = line.indexOf('\t');
+                int next;
+                try {
+                    next = Integer.parseInt(line.substring(0, Math.max(tab, 0)));
+                } catch (NumberFormatException nfe) {
+                    throw new IOException(file + ":" + lineNo + ": expected \"points<TAB>name\".");
+                }
+                if (name != null && next > points) {
+                    throw new IOException(file + ":" + lineNo + ": shard is not sorted by points (descending).");
+                }
+                points = next;
+                name = line.substring(tab + 1);
+                return true;
+            }
+        }
+
+        private int topN; // 0 = keep everything
+        private boolean dedupe; // keep only each player's best score
+
+        public LeaderboardMerger(int topN, boolean dedupe) {
+            // Without a limit the set of seen names would grow with every distinct player
+            if (dedupe && topN <= 0) {
+                throw new IllegalArgumentException("De-duplication needs a top-N limit.");
+            }
+            this.topN = topN;
+            this.dedupe = dedupe;
+        }
+
+        /**
+         * Merges the shards and writes the result to outFile as a new shard,
+         * or prints it in the display() format when outFile is null.
+         * The output file is written to a temporary file next to it and only
+         * replaces outFile once the whole merge succeeded.
+         * Returns the number of entries written.
+         */
+        public long merge(List<String> shardFiles, String outFile) throws IOException {
+            Path target = outFile != null ? Paths.get(outFile) : null;
+            if (target != null && Files.exists(target)) {
+                for (String shard : shardFiles) {
+                    if (Files.exists(Paths.get(shard)) && Files.isSameFile(target, Paths.get(shard))) {
+                        throw new IOException("Output file " + outFile + " is also an input shard.");
+                    }
                 }
             }
-            System.out.println("========================================\n");
+            PriorityQueue<Cursor> heap = new PriorityQueue<>(Math.max(1, shardFiles.size()),
+                    (a, b) -> a.points != b.points ? Integer.compare(b.points, a.points)
+                            : Integer.compare(a.order, b.order));
+            List<Cursor> open = new ArrayList<>();
+            Path tmp = null;
+            BufferedWriter out = null;
+            boolean printing = false;
+            boolean done = false;
+            long written = 0;
+            try {
+                for (int i = 0; i < shardFiles.size(); i++) {
+                    Cursor c = new Cursor(shardFiles.get(i), i);
+                    open.add(c);
+                    if (c.advance()) heap.add(c);
+                }
+                if (target != null) {
+                    tmp = tempFileBeside(target);
+                    out = new BufferedWriter(new OutputStreamWriter(
+                            Files.newOutputStream(tmp), StandardCharsets.UTF_8), BUFFER_SIZE);
+                } else {
+                    printLeaderboardHeader();
+                    printing = true;
+                }
+                Set<String> seen = dedupe ? new HashSet<>() : null;
+                while (!heap.isEmpty() && (topN <= 0 || written < topN)) {
+                    Cursor c = heap.poll();
+                    // Entries arrive best-first, so a name's first appearance is its best score
+                    if (seen == null || seen.add(c.name)) {
+                        written++;
+                        if (out != null) {
+                            out.write(Integer.toString(c.points));
+                            out.write('\t');
+                            out.write(c.name);
+                            out.newLine();
+                        } else {
+                            printLeaderboardRow(written, c.name, c.points);
+                        }
+                    }
+                    if (c.advance()) heap.add(c);
+                }
+                if (out != null) {
+                    out.close();
+                    out = null;
+                    moveIntoPlace(tmp, target);
+                } else if (written == 0) {
+                    System.out.println("(No records yet.)");
+                }
+                done = true;
+            } finally {
+                if (out != null) out.close();
+                if (tmp != null) Files.deleteIfExists(tmp);
+                for (Cursor c : open) c.reader.close();
+                if (printing) {
+                    if (!done) System.out.println("(Incomplete — the merge failed.)");
+                    printLeaderboardFooter();
+                }
+            }
+            return written;
+        }
+    }
+
+    /* ---------------------------
+     * Interface: QuestionListener
+     * Delivers a tournament question to one session (kiosk screen, socket, etc.).
+     * The session answers later through Tournament.submit().
+     * --------------------------- */
+    public interface QuestionListener {
+        void onQuestion(int session, int round, Question question);
+    }
+
+    /* ---------------------------
+     * Inner class: Tournament
+     * Synchronized mode: every session answers the same spot's questions, round by round.
+     * Answers are collected with a tiered Phaser (one child per batch of sessions) and
+     * questions are broadcast in batches on a small worker pool — no thread per player.
+     * A round's answer deadline (roundMillis) starts after the question reached every session.
+     * --------------------------- */
+    public class Tournament {
+        private static final int BATCH_SIZE = 128; // sessions per fan-out task / child Phaser
+        private static final int RANKING_SHOWN = 10; // rows printed in the live ranking
+        // Placed in every answer slot when a round closes, so later compareAndSet(null, ...) calls fail
+        private static final String CLOSED = "<closed>";
+
+        // State of the round currently accepting answers
+        private class Round {
+            final int number;
+            final boolean[] active; // eliminated players cannot answer
+            final AtomicReferenceArray<String> answers; // raw answer lines, null = no answer yet, CLOSED = round over
+            final Phaser root;
+            final Phaser[] batches;
+
+            Round(int number) {
+                this.number = number;
+                this.active = new boolean[players.length];
+                this.answers = new AtomicReferenceArray<>(players.length);
+                this.root = new Phaser(1); // the coordinator's own party
+                this.batches = new Phaser[(players.length + BATCH_SIZE - 1) / BATCH_SIZE];
+                for (int b = 0; b < batches.length; b++) {
+                    int alive = 0;
+                    int end = Math.min((b + 1) * BATCH_SIZE, players.length);
+                    for (int s = b * BATCH_SIZE; s < end; s++) {
+                        active[s] = players[s].isAlive();
+                        if (active[s]) alive++;
+                    }
+                    // A child registers itself with the root only when it has parties
+                    if (alive > 0) batches[b] = new Phaser(root, alive);
+                }
+            }
+        }
+
+        private Place place;
+        private Question[] questions; // fixed subset of the spot's pool, one per round
+        private Player[] players;
+        private volatile Player[] ranking; // replaced (never sorted in place) after each round
+        private QuestionListener listener;
+        private long roundMillis;
+        private ExecutorService workers;
+        private volatile Round current;
+
+        // Same seed + same catalog = same questions, so several hosts can run one event
+        public Tournament(Place place, String[] playerNames, QuestionListener listener, long roundMillis,
+                          int rounds, long seed) {
+            this.place = place;
+            this.questions = place.drawQuestions(rounds, new Random(seed), null);
+            this.listener = listener;
+            this.roundMillis = roundMillis;
+            this.players = new Player[playerNames.length];
+            for (int i = 0; i < playerNames.length; i++) {
+                players[i] = new Player(playerNames[i]);
+            }
+            this.ranking = players.clone();
+        }
+
+        public int size() {
+            return players.length;
+        }
+
+        public Player getPlayer(int session) {
+            return players[session];
+        }
+
+        // Snapshot of the sessions sorted by points (descending), refreshed after every round
+        public Player[] getRanking() {
+            return ranking.clone();
+        }
+
+        /**
+         * Records a session's answer for the given round. Safe to call from any thread.
+         * Returns false if the answer is late, a duplicate, or from an eliminated player.
+         */
+        public boolean submit(int session, int round, String line) {
+            Round r = current;
+            if (r == null || r.number != round || session < 0 || session >= players.length
+                    || !r.active[session] || line == null) {
+                return false;
+            }
+            if (!r.answers.compareAndSet(session, null, line)) {
+                return false; // only the first answer counts, and none after the round closed
+            }
+            r.batches[session / BATCH_SIZE].arrive();
+            return true;
+        }
+
+        // Runs every question of the shared spot as one round each
+        public void run() throws InterruptedException {
+            System.out.println("----------------------------------------");
+            System.out.println(" Tournament: " + place.name + " (" + players.length + " players, "
+                    + questions.length + " rounds)");
+            System.out.println("----------------------------------------");
+            workers = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors()));
+            try {
+                for (int i = 0; i < questions.length; i++) {
+                    if (!playRound(i, questions[i])) {
+                        System.out.println("✘ Every player has lost all hearts!");
+                        break;
+                    }
+                    displayRanking();
+                }
+            } finally {
+                current = null;
+                workers.shutdownNow();
+            }
+            System.out.println("Tournament complete!");
+            System.out.println("----------------------------------------\n");
+        }
+
+        // Returns false when nobody was left to play the round
+        private boolean playRound(int number, Question q) throws InterruptedException {
+            Round r = new Round(number);
+            if (r.root.getRegisteredParties() == 1) {
+                return false; // only the coordinator is left
+            }
+            current = r;
+            List<Future<?>> deliveries = broadcast(r, q);
+            try {
+                // The deadline starts once every session has the question, so a slow
+                // fan-out never costs a heart for a question that was not shown yet
+                for (Future<?> delivery : deliveries) {
+                    try {
+                        delivery.get();
+                    } catch (ExecutionException ee) {
+                        // That batch's sessions just miss the question
+                    }
+                }
+
+                // Wait until every active session answered or the deadline passed
+                int phase = r.root.arrive();
+                try {
+                    r.root.awaitAdvanceInterruptibly(phase, roundMillis, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException te) {
+                    // Deadline reached; missing answers are scored below
+                }
+            } finally {
+                current = null;
+                r.root.forceTermination();
+                // Nothing from a closed round may still be queued (e.g. after an interrupt)
+                for (Future<?> delivery : deliveries) {
+                    delivery.cancel(false);
+                }
+            }
+
+            // Score with the same rules as conductQuiz()
+            int correct = 0, wrong = 0, missed = 0;
+            for (int s = 0; s < players.length; s++) {
+                if (!r.active[s]) continue;
+                Player p = players[s];
+                try {
+                    // Closing the slot atomically means a submit() that returned true is always scored
+                    String line = r.answers.getAndSet(s, CLOSED);
+                    if (line == null) {
+                        throw new InvalidChoiceException("No answer before the deadline.");
+                    }
+                    if (q.check(line)) {
+                        p.addPoints(5);
+                        correct++;
+                    } else {
+                        p.loseHeart();
+                        wrong++;
+                    }
+                } catch (InvalidChoiceException ice) {
+                    p.loseHeart();
+                    missed++;
+                }
+            }
+            System.out.printf("Round %d: ✓ %d correct | ✘ %d wrong | ⚠ %d invalid/no answer%n",
+                    number + 1, correct, wrong, missed);
+            return true;
+        }
+
+        // Fan-out: one task per batch of sessions instead of one per player
+        private List<Future<?>> broadcast(Round r, Question q) {
+            List<Future<?>> deliveries = new ArrayList<>();
+            for (int start = 0; start < players.length; start += BATCH_SIZE) {
+                final int from = start;
+                final int to = Math.min(start + BATCH_SIZE, players.length);
+                deliveries.add(workers.submit(() -> {
+                    for (int s = from; s < to; s++) {
+                        if (current != r) return; // round already closed
+                        if (!r.active[s]) continue;
+                        try {
+                            listener.onQuestion(s, r.number, q);
+                        } catch (RuntimeException e) {
+                            // A broken session just misses the round; the rest of the batch continues
+                        }
+                    }
+                }));
+            }
+            return deliveries;
+        }
+
+        private void displayRanking() {
+            Player[] sorted = players.clone();
+            Arrays.sort(sorted, (a, b) -> Integer.compare(b.getPoints(), a.getPoints()));
+            ranking = sorted;
+            System.out.println("ᯓ★ Live ranking");
+            int shown = Math.min(RANKING_SHOWN, sorted.length);
+            for (int i = 0; i < shown; i++) {
+                System.out.printf(" %2d. %s%n", i + 1, sorted[i]);
+            }
+            if (sorted.length > shown) {
+                System.out.println(" ... and " + (sorted.length - shown) + " more");
+            }
+            System.out.println();
         }
     }
 
@@ -320,20 +946,54 @@ public class LakbayBatangas {
     private UnlockSystem unlockSystem;
     private List<Municipality> municipalities;
 
+    // Question selection: a few questions are drawn per visit from each spot's pool
+    private static final int QUESTIONS_PER_VISIT = 2;
+    private static final int RECENT_QUESTIONS = 8; // per-player "recently seen" ring size
+    private static final int MAX_DRAW_ATTEMPTS = 8; // redraws before accepting a recent question
+    private Random random = new Random();
+    private TextPool text = new TextPool(); // shared catalog text and player names
+    private int nextQuestionId;
+
+    // Startup bookkeeping for --startup-report (see main)
+    private static long mainStartNanos;
+    private static boolean startupReport;
+    private String shardFile; // --shard: this kiosk's leaderboard file, updated after each game
+    private static final int KIOSK_SHARD_LIMIT = 1000; // best entries a kiosk keeps in its shard
+
+    // Scanner and Leaderboard are created on first use so the banner prints as early as possible
     public LakbayBatangas() {
-        scanner = new Scanner(System.in);
-        leaderboard = new Leaderboard();
         municipalities = new ArrayList<>();
         setupMockData();
         unlockSystem = new UnlockSystem(municipalities);
     }
 
-    // Setup mock data: 6 municipalities, each with 2 spots, each spot with 2 questions
+    // Setup mock data: 6 municipalities, each with 2 spots, each spot with 2 questions.
+    // Only names and unlock thresholds are registered here; spots are built by loadSpots().
 private void setupMockData() {
+    municipalities.add(createMunicipality(0, "Taal", 0));
+    municipalities.add(createMunicipality(1, "Lemery", 5));
+    municipalities.add(createMunicipality(2, "Mabini", 20));
+    municipalities.add(createMunicipality(3, "Laurel", 30));
+    municipalities.add(createMunicipality(4, "Batangas", 40));
+    municipalities.add(createMunicipality(5, "Cuenca", 50));
+}
 
-    // TAAL — ONLY TAAL VOLCANO (1 question, no Basilica)
-     municipalities.add(createMunicipality(0, "Taal", 0,
-        new Place[] {
+// Builds a municipality's spots the first time it is selected (lazy catalog)
+private Place[] loadSpots(int index) {
+    switch (index) {
+        case 0: return taalSpots();
+        case 1: return lemerySpots();
+        case 2: return mabiniSpots();
+        case 3: return laurelSpots();
+        case 4: return batangasSpots();
+        case 5: return cuencaSpots();
+        default: return new Place[0];
+    }
+}
+
+// TAAL — ONLY TAAL VOLCANO (1 question, no Basilica)
+private Place[] taalSpots() {
+    return new Place[]{
                 new Mountain("Taal Volcano",
                         "One of the popular attractions in this municipality is the Taal Volcano.",
                         createQs(
@@ -344,13 +1004,15 @@ private void setupMockData() {
                                         "C. Volcano in the middle of the ocean, and a lake within a volcano"
                                 },
                                 0, // Correct
+                                1, // Difficulty
                                 "What type of volcano is Taal Volcano?",
                                 new String[] {
                                         "A. Shield volcano",
                                         "B. Stratovolcano",
                                         "C. Caldera volcano"
                                 },
-                                2 // Correct
+                                2, // Correct
+                                2 // Difficulty: Stratovolcano is a common wrong guess
                         )
                 ),
                 new HeritageSite("Basilica of St. Martin de Tours",
@@ -372,12 +1034,12 @@ private void setupMockData() {
                                 1
                         )
                 )
-        }
-));
+    };
+}
 
-    // LEMERY
-    municipalities.add(createMunicipality(1, "Lemery", 5,
-            new Place[]{
+// LEMERY
+private Place[] lemerySpots() {
+    return new Place[]{
                     new HeritageSite("Fantasy World",
                             "A medieval-themed amusement park. The main attraction is the large, colorful castle, but it also features other structures like a throne room, fountains, and a treehouse.",
                             createQs(
@@ -417,12 +1079,12 @@ private void setupMockData() {
                                     0
                             )
                     )
-            }
-    ));
+    };
+}
 
-    // MABINI
-    municipalities.add(createMunicipality(2, "Mabini", 20,
-            new Place[]{
+// MABINI
+private Place[] mabiniSpots() {
+    return new Place[]{
                     new Mountain("Mount Gulugod Baboy",
                             "Also known as Mount Gulbab, is a popular hiking destination in Mabini, Batangas, Philippines, known for its rolling hills that resemble a pig's spine. With stunning views of the surrounding mountains, neighboring islands, and coastline at the top, the hike is rated as easy to moderate and appropriate for novices.",
                             createQs(
@@ -462,12 +1124,12 @@ private void setupMockData() {
                                     0
                             )
                     )
-            }
-    ));
+    };
+}
 
-    // LAUREL
-    municipalities.add(createMunicipality(3, "Laurel", 30,
-            new Place[]{
+// LAUREL
+private Place[] laurelSpots() {
+    return new Place[]{
                     new Beach("Simbahan Bato",
                             "There are many mythical stories about simbahang bato most commonly known as Kapilya ni San Gabriel Archangel in Laurel, Batangas. According to the elderly people who lived there, this place was already sacred even before it was turned into a church. Some elders said that they could hear beautiful and unique music coming from the cave",
                             createQs(
@@ -507,12 +1169,12 @@ private void setupMockData() {
                                     0
                             )
                     )
-            }
-    ));
+    };
+}
 
-    // BATANGAS CITY
-    municipalities.add(createMunicipality(4, "Batangas", 40,
-            new Place[]{
+// BATANGAS CITY
+private Place[] batangasSpots() {
+    return new Place[]{
                     new Mountain("Mt. Banoy",
                             "A popular hiking destination located in Batangas City, Batangas. It is known for being a beginner-friendly mountain with well-established trails, scenic views of Batangas Bay, and a vantage point overlooking the city. Many hikers visit Mt. Banoy for day hikes because of its accessibility and relatively moderate difficulty.",
                             createQs(
@@ -552,12 +1214,12 @@ private void setupMockData() {
                                     0
                             )
                     )
-            }
-    ));
+    };
+}
 
-    // CUENCA
-    municipalities.add(createMunicipality(5, "Cuenca", 50,
-            new Place[]{
+// CUENCA
+private Place[] cuencaSpots() {
+    return new Place[]{
                     new Mountain("Lumampao",
                             "Known for the Lumampao Viewdeck, a tourist spot offering scenic views of rolling hills and valleys, especially famous for its sunset panoramas. Cuenca itself is a municipality recognized for its rich culture, natural beauty.",
                             createQs(
@@ -597,14 +1259,13 @@ private void setupMockData() {
                                     1
                             )
                     )
-            }
-    ));
+    };
 }
 
 
 // helper for municipalities
-private Municipality createMunicipality(int index, String name, int threshold, Place[] spots) {
-    return new Municipality(name, index, threshold, spots);
+private Municipality createMunicipality(int index, String name, int threshold) {
+    return new Municipality(name, index, threshold);
 }
 
 // Overloaded createQs for ONE question
@@ -623,12 +1284,41 @@ private Question[] createQs(String p1, String[] opts1, int c1,
     };
 }
 
+// createQs with difficulty (1 = easy .. 3 = hard); harder questions are drawn less often
+private Question[] createQs(String p1, String[] opts1, int c1, int d1,
+                            String p2, String[] opts2, int c2, int d2) {
+    return new Question[] {
+            new Question(p1, opts1, c1, d1),
+            new Question(p2, opts2, c2, d2)
+    };
+}
+
 
 
+    // Looks up a tourist spot by name and prepares a tournament of the given number of rounds on it.
+    // Hosts that pass the same seed (and have the same catalog) get the same questions.
+    public Tournament createTournament(String spotName, String[] playerNames, QuestionListener listener,
+                                       long roundMillis, int rounds, long seed) throws InvalidChoiceException {
+        for (Municipality m : municipalities) {
+            for (Place p : m.getSpots()) {
+                if (p.name.equalsIgnoreCase(spotName)) {
+                    return new Tournament(p, playerNames, listener, roundMillis, rounds, seed);
+                }
+            }
+        }
+        throw new InvalidChoiceException("Unknown tourist spot: " + spotName);
+    }
+
     // Entry point for playing the game
     public void play() {
         printBanner();
         System.out.print("Enter your name, traveler: ");
+        if (startupReport) {
+            reportStartup();
+        }
+        if (scanner == null) {
+            scanner = new Scanner(System.in);
+        }
         String name = scanner.nextLine().trim();
         if (name.isEmpty()) name = "Wanderer";
         Player player = new Player(name);
@@ -697,7 +1387,28 @@ private Question[] createQs(String p1, String[] opts1, int c1,
         }
 
         // Save to leaderboard and show results
+        boolean shardLoaded = shardFile != null;
+        if (leaderboard == null) {
+            leaderboard = new Leaderboard();
+            if (shardFile != null) {
+                try {
+                    leaderboard.loadShard(shardFile, KIOSK_SHARD_LIMIT);
+                } catch (IOException e) {
+                    // Leave the file alone rather than overwrite it with this game only
+                    System.out.println("⚠ Could not read leaderboard file: " + e.getMessage());
+                    shardLoaded = false;
+                }
+            }
+        }
         leaderboard.add(player.getName(), player.getPoints());
+        if (shardLoaded) {
+            try {
+                leaderboard.trim(KIOSK_SHARD_LIMIT);
+                leaderboard.saveShard(shardFile);
+            } catch (IOException e) {
+                System.out.println("⚠ Could not save leaderboard file: " + e.getMessage());
+            }
+        }
         System.out.println("\nFinal Score: " + player.getPoints() + " pts");
         leaderboard.display();
         System.out.println("Thank you for playing Lakbay Batangas! (ദ്ദി˙ᗜ˙)");
@@ -741,12 +1452,215 @@ private Question[] createQs(String p1, String[] opts1, int c1,
         System.out.println("========================================\n");
     }
 
+    // Leaderboard output shared by Leaderboard.display() and LeaderboardMerger
+    private void printLeaderboardHeader() {
+        System.out.println("\n========================================");
+        System.out.println("ᯓ★ Leaderboard — Lakbay Batangas");
+        System.out.println("========================================");
+    }
+
+    private void printLeaderboardRow(long rank, String name, int points) {
+        System.out.printf(" %2d. %s — %d pts%n", rank, name, points);
+    }
+
+    private void printLeaderboardFooter() {
+        System.out.println("========================================\n");
+    }
+
+    /*
+     * Temporary file in the target's directory, so the final move stays on one file system.
+     * Created like a normal file (not with createTempFile's owner-only mode), and given the
+     * target's permissions when it already exists, so replacing the target keeps them.
+     */
+    private static Path tempFileBeside(Path target) throws IOException {
+        Path dir = target.toAbsolutePath().getParent();
+        String prefix = target.getFileName().toString() + ".";
+        Path tmp;
+        while (true) {
+            tmp = dir.resolve(prefix + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+            try {
+                Files.createFile(tmp);
+                break;
+            } catch (FileAlreadyExistsException e) {
+                // Name taken; try another
+            }
+        }
+        if (Files.exists(target)) {
+            try {
+                Files.setPosixFilePermissions(tmp, Files.getPosixFilePermissions(target));
+            } catch (UnsupportedOperationException e) {
+                // Not a POSIX file system; the default permissions apply
+            }
+        }
+        return tmp;
+    }
+
+    // Replaces target with a fully written temporary file
+    private static void moveIntoPlace(Path tmp, Path target) throws IOException {
+        try {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
     /* ---------------------------
      * main method
      * --------------------------- */
     public static void main(String[] args) {
+        mainStartNanos = System.nanoTime();
+        if (args.length > 0 && args[0].equals("--tournament-demo")) {
+            tournamentDemo(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--merge-leaderboards")) {
+            mergeLeaderboards(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        boolean training = false;
+        String shard = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--startup-report")) {
+                startupReport = true;
+            } else if (args[i].equals("--cds-training")) {
+                training = true;
+            } else if (args[i].equals("--shard") && i + 1 < args.length) {
+                shard = args[++i];
+            } else {
+                System.out.println("⚠ Unknown option: " + args[i]);
+            }
+        }
         LakbayBatangas game = new LakbayBatangas();
-        game.play();
+        game.shardFile = shard;
+        if (training) {
+            game.trainingRun();
+        } else {
+            game.play();
+        }
+    }
+
+    /*
+     * --tournament-demo SPOT PLAYERS [ROUND_MS] [ROUNDS] [SEED]
+     * Runs a tournament with simulated players, showing the createTournament()/run() wiring.
+     * A real event would hand each question to a kiosk or socket in onQuestion() and call
+     * submit() when that player answers.
+     */
+    private static void tournamentDemo(String[] args) {
+        final String usage = "Usage: java LakbayBatangas --tournament-demo SPOT PLAYERS [ROUND_MS] [ROUNDS] [SEED]\n"
+                + "  PLAYERS, ROUND_MS and ROUNDS must be at least 1.";
+        if (args.length < 2) {
+            System.out.println(usage);
+            return;
+        }
+        LakbayBatangas game = new LakbayBatangas();
+        try {
+            int count = Integer.parseInt(args[1]);
+            long roundMillis = args.length > 2 ? Long.parseLong(args[2]) : 2000;
+            int rounds = args.length > 3 ? Integer.parseInt(args[3]) : QUESTIONS_PER_VISIT;
+            long seed = args.length > 4 ? Long.parseLong(args[4]) : game.random.nextLong();
+            if (count < 1 || roundMillis < 1 || rounds < 1) {
+                System.out.println(usage);
+                return;
+            }
+            String[] names = new String[count];
+            for (int i = 0; i < count; i++) {
+                names[i] = "Player " + (i + 1);
+            }
+            Tournament[] holder = new Tournament[1];
+            holder[0] = game.createTournament(args[0], names, (session, round, question) -> {
+                // Simulated player: random pick, and about 1 in 20 never answers
+                Random rnd = ThreadLocalRandom.current();
+                if (rnd.nextInt(20) != 0) {
+                    holder[0].submit(session, round, Integer.toString(1 + rnd.nextInt(question.getOptionCount())));
+                }
+            }, roundMillis, rounds, seed);
+            System.out.println("Question seed: " + seed + " (pass it as SEED to draw the same questions)");
+            holder[0].run();
+        } catch (NumberFormatException nfe) {
+            System.out.println("⚠ PLAYERS, ROUND_MS, ROUNDS and SEED must be numbers.");
+        } catch (InvalidChoiceException ice) {
+            System.out.println("⚠ " + ice.getMessage());
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // --merge-leaderboards [--top N] [--dedupe] [--out FILE] SHARD...
+    // Errors go to stderr with exit status 1 so scripts can detect a failed merge
+    private static void mergeLeaderboards(String[] args) {
+        final String usage = "Usage: java LakbayBatangas --merge-leaderboards [--top N] [--dedupe] [--out FILE] SHARD...\n"
+                + "  --dedupe keeps each player's best score and requires --top (memory grows with N).";
+        int top = 0;
+        boolean dedupe = false;
+        String out = null;
+        List<String> shards = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--top") || args[i].equals("--out")) {
+                if (i + 1 >= args.length) {
+                    failMerge(args[i] + " needs a value.", usage);
+                }
+                if (args[i].equals("--out")) {
+                    out = args[++i];
+                } else {
+                    try {
+                        top = Integer.parseInt(args[++i]);
+                    } catch (NumberFormatException nfe) {
+                        failMerge("--top expects a number.", usage);
+                    }
+                    if (top <= 0) failMerge("--top must be positive.", usage);
+                }
+            } else if (args[i].equals("--dedupe")) {
+                dedupe = true;
+            } else if (args[i].startsWith("--")) {
+                failMerge("Unknown option: " + args[i], usage);
+            } else {
+                shards.add(args[i]);
+            }
+        }
+        if (shards.isEmpty()) failMerge("No shard files given.", usage);
+        if (dedupe && top <= 0) failMerge("--dedupe requires --top N.", usage);
+        LakbayBatangas game = new LakbayBatangas();
+        try {
+            long written = game.new LeaderboardMerger(top, dedupe).merge(shards, out);
+            if (out != null) {
+                System.out.println("Merged " + written + " entries from " + shards.size() + " shards into " + out + ".");
+            }
+        } catch (NoSuchFileException e) {
+            failMerge("Could not merge leaderboards: file not found: " + e.getFile(), null);
+        } catch (IOException e) {
+            failMerge("Could not merge leaderboards: " + e.getMessage(), null);
+        }
+    }
+
+    private static void failMerge(String message, String usage) {
+        System.err.println("⚠ " + message);
+        if (usage != null) System.err.println(usage);
+        System.exit(1);
+    }
+
+    // Time-to-first-prompt, printed on stderr so the game output stays clean
+    private static void reportStartup() {
+        long promptNanos = System.nanoTime();
+        long sinceMain = (promptNanos - mainStartNanos) / 1_000_000;
+        // Loading the management classes takes a while, so take that back out of the uptime
+        long uptime = java.lang.management.ManagementFactory.getRuntimeMXBean().getUptime()
+                - (System.nanoTime() - promptNanos) / 1_000_000;
+        System.err.println("\n[startup] first prompt " + sinceMain + " ms after main(), "
+                + uptime + " ms after JVM start");
+    }
+
+    /*
+     * Scripted session used to record an AppCDS archive, e.g.
+     *   java -XX:ArchiveClassesAtExit=lakbay.jsa LakbayBatangas --cds-training
+     * It loads every spot and plays one short game so the classes used by a
+     * real session end up in the archive.
+     */
+    private void trainingRun() {
+        for (Municipality m : municipalities) {
+            m.getSpots();
+        }
+        scanner = new Scanner("Trainer\n1\n1\n1\nx\nn\n");
+        play();
     }
 }
 